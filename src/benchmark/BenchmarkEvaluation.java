@@ -0,0 +1,252 @@
+package benchmark;
+
+import java.util.Properties;
+import java.util.Random;
+import model.BatchEvaluation;
+import model.SolutionVectors;
+
+/**
+ * Base of the local benchmark functions. Stand-in for the contest functions, so we can test and tune offline.
+ *
+ * Fitness = 10 - f(z), where z = R · (x - x_opt) and f(0) = 0. So the maximum fitness is 10, like the contest.
+ * The optimum x_opt and the rotation R are drawn once from a fixed seed: every instance is the same function.
+ * A genotype outside the domain is scored at its nearest point inside, minus its squared distance to the domain
+ * (a non-finite genotype gets -∞), so an infeasible point never scores better than that feasible neighbour.
+ *
+ * The batch path first transforms all genotypes into one reused flat array (simple loops the JIT can vectorise), then
+ * computes f.
+ * Not thread safe: use one instance per run.
+ */
+public abstract class BenchmarkEvaluation implements BatchEvaluation
+{
+	public static final long	FUNCTION_SEED	= 2015;
+
+	protected final int			n				= SolutionVectors.DIMENSIONS;
+
+	private final int			evaluationLimit;
+	private final Properties	properties;
+	private final double[]		optimum;		// x_opt
+	private final double[]		rotation;		// R, n × n, row major. null = not rotated
+
+	private int					evaluations;
+	private double				best			= Double.NEGATIVE_INFINITY;
+	private double[]			z				= new double[0];	// transformed genotypes, reused between calls
+	private double[]			penalties		= new double[0];	// squared distance to the domain per genotype, reused
+	private final double[]		single			= new double[1];	// fitness of a single evaluate(Object)
+	private final double[]		shifted			= new double[n];	// x' - x_opt of one genotype, before rotation
+
+	/**
+	 * @param evaluationLimit
+	 *            The available number of evaluations
+	 * @param isMultimodal
+	 *            whether the function is multimodal or not
+	 * @param isRegular
+	 *            whether the function exhibits strong regularity/structure or not
+	 * @param isSeparable
+	 *            whether the function is separable or not, before rotation
+	 * @param isRotated
+	 *            Rotate the search space. A rotated function is not separable
+	 */
+	protected BenchmarkEvaluation(int evaluationLimit, boolean isMultimodal, boolean isRegular, boolean isSeparable, boolean isRotated)
+	{
+		this.evaluationLimit = evaluationLimit;
+
+		properties = new Properties();
+		properties.setProperty("Evaluations", Integer.toString(evaluationLimit));
+		properties.setProperty("Multimodal", Boolean.toString(isMultimodal));
+		properties.setProperty("Regular", Boolean.toString(isRegular));
+		properties.setProperty("Separable", Boolean.toString(isSeparable && !isRotated));
+
+		Random random = new Random(FUNCTION_SEED);
+		optimum = new double[n];
+		for (int i = 0; i < n; i++)
+		{
+			// keep the optimum away from the bounds
+			optimum[i] = 0.8 * (SolutionVectors.LOWER_BOUND + random.nextDouble() * SolutionVectors.SIZE);
+		}
+
+		rotation = isRotated ? randomRotation(random, n) : null;
+	}
+
+	/**
+	 * A uniformly random orthogonal matrix: Gram-Schmidt on a Gaussian matrix
+	 *
+	 * @return n × n, row major
+	 */
+	private static double[] randomRotation(Random random, int n)
+	{
+		double[] r = new double[n * n];
+		for (int i = 0; i < r.length; i++)
+		{
+			r[i] = random.nextGaussian();
+		}
+
+		for (int i = 0; i < n; i++)
+		{
+			// remove the components along the previous rows
+			for (int k = 0; k < i; k++)
+			{
+				double dot = 0;
+				for (int j = 0; j < n; j++)
+					dot += r[i * n + j] * r[k * n + j];
+				for (int j = 0; j < n; j++)
+					r[i * n + j] -= dot * r[k * n + j];
+			}
+
+			// normalise
+			double norm = 0;
+			for (int j = 0; j < n; j++)
+				norm += r[i * n + j] * r[i * n + j];
+			norm = Math.sqrt(norm);
+			for (int j = 0; j < n; j++)
+				r[i * n + j] /= norm;
+		}
+		return r;
+	}
+
+	/**
+	 * The raw function value
+	 *
+	 * @param z
+	 *            Transformed genotypes
+	 * @param offset
+	 *            The genotype is at [offset, offset + n)
+	 * @return f(z) ≥ 0, with f(0) = 0
+	 */
+	protected abstract double f(double[] z, int offset);
+
+	public Object evaluate(Object result)
+	{
+		if (evaluations >= evaluationLimit)
+			return null;
+
+		evaluate((double[]) result, 1, single);
+		return single[0];
+	}
+
+	public int evaluate(double[][] genotypes, double[] fitness)
+	{
+		int count = reserve(genotypes.length);
+		for (int i = 0; i < count; i++)
+		{
+			penalties[i] = transform(genotypes[i], 0, i * n);
+		}
+
+		return score(count, fitness);
+	}
+
+	public int evaluate(double[] genotypes, int count, double[] fitness)
+	{
+		count = reserve(count);
+		for (int i = 0; i < count; i++)
+		{
+			penalties[i] = transform(genotypes, i * n, i * n);
+		}
+
+		return score(count, fitness);
+	}
+
+	/**
+	 * Limit the amount of genotypes to the remaining evaluations and make room for them in z. z only grows
+	 *
+	 * @return The number of genotypes that may be evaluated
+	 */
+	private int reserve(int count)
+	{
+		count = Math.max(0, Math.min(count, evaluationLimit - evaluations));
+
+		if (z.length < count * n)
+		{
+			z = new double[count * n];
+			penalties = new double[count];
+		}
+
+		return count;
+	}
+
+	/** Fitness of the first count transformed genotypes in z */
+	private int score(int count, double[] fitness)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			double value = penalties[i] == Double.POSITIVE_INFINITY ? Double.NEGATIVE_INFINITY : 10 - f(z, i * n) - penalties[i];
+			fitness[i] = value;
+
+			if (value > best)
+				best = value;
+		}
+
+		evaluations += count;
+		return count;
+	}
+
+	/**
+	 * z = R · (x' - x_opt), for the genotype at [xOffset, xOffset + n) into [zOffset, zOffset + n). x' is x moved to the
+	 * nearest point of the domain
+	 *
+	 * @return The squared distance between x and x'. +∞ when x is not finite
+	 */
+	private double transform(double[] x, int xOffset, int zOffset)
+	{
+		double penalty = 0;
+		for (int j = 0; j < n; j++)
+		{
+			double value = x[xOffset + j];
+			double inside = Math.max(SolutionVectors.LOWER_BOUND, Math.min(SolutionVectors.UPPER_BOUND, value));
+
+			if (Double.isNaN(value) || Double.isInfinite(value))
+			{
+				penalty = Double.POSITIVE_INFINITY;
+				inside = 0;
+			}
+			else
+			{
+				penalty += (value - inside) * (value - inside);
+			}
+
+			shifted[j] = inside - optimum[j];
+		}
+
+		if (rotation == null)
+		{
+			System.arraycopy(shifted, 0, z, zOffset, n);
+			return penalty;
+		}
+
+		for (int row = 0; row < n; row++)
+		{
+			double sum = 0;
+			for (int j = 0; j < n; j++)
+				sum += rotation[row * n + j] * shifted[j];
+			z[zOffset + row] = sum;
+		}
+		return penalty;
+	}
+
+	public Object getData(Object arg)
+	{
+		return null;
+	}
+
+	/** @return The best fitness so far */
+	public double getFinalResult()
+	{
+		return best;
+	}
+
+	public Properties getProperties()
+	{
+		return properties;
+	}
+
+	public int getEvaluations()
+	{
+		return evaluations;
+	}
+
+	/** @return A copy of the location of the optimum */
+	public double[] getOptimum()
+	{
+		return optimum.clone();
+	}
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+/**
+ * Katsuura: f(z) = (10 / n²) · Π (1 + i · Σj=1..32 |2^j·zi - round(2^j·zi)| / 2^j)^(10 / n^1.2) - 10 / n².
+ * Multimodal, irregular, not separable
+ */
+public class KatsuuraEvaluation extends BenchmarkEvaluation
+{
+	private static final int	TERMS	= 32;
+
+	private final double		exponent	= 10 / Math.pow(n, 1.2);
+	private final double		scale		= 10.0 / (n * n);
+
+	public KatsuuraEvaluation()
+	{
+		this(1000000, false);
+	}
+
+	/**
+	 * @param evaluationLimit
+	 *            The available number of evaluations
+	 * @param isRotated
+	 *            Rotate the search space
+	 */
+	public KatsuuraEvaluation(int evaluationLimit, boolean isRotated)
+	{
+		super(evaluationLimit, true, false, false, isRotated);
+	}
+
+	protected double f(double[] z, int offset)
+	{
+		double product = 1;
+		for (int i = 0; i < n; i++)
+		{
+			double sum = 0;
+			double power = 2;
+			for (int j = 1; j <= TERMS; j++)
+			{
+				double value = power * z[offset + i];
+				sum += Math.abs(value - Math.rint(value)) / power;
+				power *= 2;
+			}
+
+			product *= Math.pow(1 + (i + 1) * sum, exponent);
+		}
+		return scale * product - scale;
+	}
+}
@@ -0,0 +1,31 @@
+package benchmark;
+
+/** Rastrigin: f(z) = 10n + Σ (zi² - 10 cos(2π zi)). Multimodal, regular, separable */
+public class RastriginEvaluation extends BenchmarkEvaluation
+{
+	public RastriginEvaluation()
+	{
+		this(100000, false);
+	}
+
+	/**
+	 * @param evaluationLimit
+	 *            The available number of evaluations
+	 * @param isRotated
+	 *            Rotate the search space. The rotated function is not separable
+	 */
+	public RastriginEvaluation(int evaluationLimit, boolean isRotated)
+	{
+		super(evaluationLimit, true, true, true, isRotated);
+	}
+
+	protected double f(double[] z, int offset)
+	{
+		double sum = 10 * n;
+		for (int i = offset; i < offset + n; i++)
+		{
+			sum += z[i] * z[i] - 10 * Math.cos(2 * Math.PI * z[i]);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,10 @@
+package benchmark;
+
+/** Katsuura in a rotated search space. Multimodal, irregular, not separable */
+public class RotatedKatsuuraEvaluation extends KatsuuraEvaluation
+{
+	public RotatedKatsuuraEvaluation()
+	{
+		super(1000000, true);
+	}
+}
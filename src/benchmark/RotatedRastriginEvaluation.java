@@ -0,0 +1,10 @@
+package benchmark;
+
+/** Rastrigin in a rotated search space. Multimodal, regular, not separable */
+public class RotatedRastriginEvaluation extends RastriginEvaluation
+{
+	public RotatedRastriginEvaluation()
+	{
+		super(100000, true);
+	}
+}
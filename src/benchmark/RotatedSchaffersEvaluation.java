@@ -0,0 +1,10 @@
+package benchmark;
+
+/** Schaffers F7 in a rotated search space. Multimodal, regular, not separable */
+public class RotatedSchaffersEvaluation extends SchaffersEvaluation
+{
+	public RotatedSchaffersEvaluation()
+	{
+		super(100000, true);
+	}
+}
@@ -0,0 +1,40 @@
+package benchmark;
+
+/**
+ * Schaffers F7: si = √(zi² + zi+1²), f(z) = ((1 / (n - 1)) Σ (√si + √si · sin²(50 · si^0.2)))².
+ * Multimodal, regular, not separable
+ */
+public class SchaffersEvaluation extends BenchmarkEvaluation
+{
+	public SchaffersEvaluation()
+	{
+		this(100000, false);
+	}
+
+	/**
+	 * @param evaluationLimit
+	 *            The available number of evaluations
+	 * @param isRotated
+	 *            Rotate the search space
+	 */
+	public SchaffersEvaluation(int evaluationLimit, boolean isRotated)
+	{
+		super(evaluationLimit, true, true, false, isRotated);
+	}
+
+	protected double f(double[] z, int offset)
+	{
+		double sum = 0;
+		for (int i = offset; i < offset + n - 1; i++)
+		{
+			double s = Math.sqrt(z[i] * z[i] + z[i + 1] * z[i + 1]);
+			double root = Math.sqrt(s);
+			double sin = Math.sin(50 * Math.pow(s, 0.2));
+
+			sum += root + root * sin * sin;
+		}
+
+		double mean = sum / (n - 1);
+		return mean * mean;
+	}
+}
@@ -0,0 +1,25 @@
+package benchmark;
+
+/** Sphere: f(z) = Σ zi². Unimodal, regular, separable */
+public class SphereEvaluation extends BenchmarkEvaluation
+{
+	public SphereEvaluation()
+	{
+		this(10000);
+	}
+
+	public SphereEvaluation(int evaluationLimit)
+	{
+		super(evaluationLimit, false, true, true, false);
+	}
+
+	protected double f(double[] z, int offset)
+	{
+		double sum = 0;
+		for (int i = offset; i < offset + n; i++)
+		{
+			sum += z[i] * z[i];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,31 @@
+package experiment;
+
+import model.BatchEvaluation;
+
+/** A RecordingEvaluation for a function that can evaluate many genotypes in one call. Batch calls are passed on */
+public class BatchRecordingEvaluation extends RecordingEvaluation implements BatchEvaluation
+{
+	private final BatchEvaluation	function;
+
+	/**
+	 * @param function
+	 *            The benchmark function
+	 * @param branch
+	 *            Overrides the function properties, so a specific solver is selected
+	 */
+	public BatchRecordingEvaluation(BatchEvaluation function, Branch branch)
+	{
+		super(function, branch);
+		this.function = function;
+	}
+
+	public int evaluate(double[] genotypes, int count, double[] fitness)
+	{
+		return recordAll(fitness, function.evaluate(genotypes, count, fitness));
+	}
+
+	public int evaluate(double[][] genotypes, double[] fitness)
+	{
+		return recordAll(fitness, function.evaluate(genotypes, fitness));
+	}
+}
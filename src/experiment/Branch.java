@@ -0,0 +1,51 @@
+package experiment;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/** Which solver 'Bootstrap.java' should select. Done by overriding the function properties */
+public enum Branch
+{
+	AUTO(null, null), // use the properties of the function itself
+	UNIMODAL("false", "true"),
+	MULTIMODAL_REGULAR("true", "true"),
+	MULTIMODAL_IRREGULAR("true", "false");
+
+	private final String	multimodal;
+	private final String	regular;
+
+	private Branch(String multimodal, String regular)
+	{
+		this.multimodal = multimodal;
+		this.regular = regular;
+	}
+
+	/**
+	 * @param properties
+	 *            The properties of the benchmark function
+	 * @return A copy of the properties, with 'Multimodal' and 'Regular' set for this branch
+	 */
+	public Properties apply(Properties properties)
+	{
+		Properties copy = new Properties();
+		copy.putAll(properties);
+
+		if (multimodal != null)
+		{
+			copy.setProperty("Multimodal", multimodal);
+			copy.setProperty("Regular", regular);
+		}
+		return copy;
+	}
+
+	/** @return Name as used on the command line and in the result files, e.g. 'multimodal-regular' */
+	public String getName()
+	{
+		return name().toLowerCase(Locale.ROOT).replace('_', '-');
+	}
+
+	public static Branch parse(String name)
+	{
+		return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+	}
+}
@@ -0,0 +1,186 @@
+package experiment;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.vu.contest.ContestEvaluation;
+import org.vu.contest.ContestSubmission;
+import model.BatchEvaluation;
+import model.RunStatistics;
+
+/**
+ * Headless experiment: runs every (branch, function, seed) combination, concurrently on all cores.
+ *
+ * Usage:
+ * java experiment.ExperimentRunner -functions=SphereEvaluation,KatsuuraEvaluation -seeds=1-30
+ * [-branches=auto,unimodal,multimodal-regular,multimodal-irregular] [-submission=player10] [-threads=8] [-out=results]
+ *
+ * Functions and the submission are loaded by class name, exactly like the contest does. Functions that are not on the
+ * class path are looked up in the local 'benchmark' package.
+ * See 'ResultWriter.java' for the result files.
+ */
+public class ExperimentRunner
+{
+	/** Fitness targets: 10 - 10^k. The maximum fitness is 10 */
+	public static final double[]	TARGETS	= { 10 - 1e1, 10 - 1e0, 10 - 1e-1, 10 - 1e-2, 10 - 1e-3, 10 - 1e-4, 10 - 1e-5, 10 - 1e-6, 10 - 1e-7, 10 - 1e-8 };
+
+	private String					submission	= "player10";
+	private List<Branch>			branches	= new ArrayList<Branch>();
+	private List<String>			functions	= new ArrayList<String>();
+	private List<Long>				seeds		= new ArrayList<Long>();
+	private int						threads		= Runtime.getRuntime().availableProcessors();
+	private File					out			= new File("results");
+
+	public static void main(String[] args) throws Exception
+	{
+		ExperimentRunner runner = new ExperimentRunner();
+		runner.parse(args);
+
+		long start = System.nanoTime();
+		List<RunResult> results = runner.run();
+		new ResultWriter(runner.out, TARGETS).write(results);
+
+		System.out.println(String.format(Locale.ROOT, "%d runs in %.1f s. Results in: %s", results.size(), (System.nanoTime() - start) / 1e9,
+				runner.out.getAbsolutePath()));
+	}
+
+	private void parse(String[] args)
+	{
+		for (String arg : args)
+		{
+			int split = arg.indexOf('=');
+			if (!arg.startsWith("-") || split < 0)
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+
+			String key = arg.substring(1, split);
+			String value = arg.substring(split + 1);
+
+			if (key.equals("submission"))
+				submission = value;
+			else if (key.equals("functions"))
+				for (String function : value.split(","))
+					functions.add(function.trim());
+			else if (key.equals("branches"))
+				for (String branch : value.split(","))
+					branches.add(Branch.parse(branch));
+			else if (key.equals("seeds"))
+				seeds.addAll(parseSeeds(value));
+			else if (key.equals("threads"))
+				threads = Integer.parseInt(value);
+			else if (key.equals("out"))
+				out = new File(value);
+			else
+				throw new IllegalArgumentException("Unknown argument: " + arg);
+		}
+
+		if (functions.isEmpty())
+			throw new IllegalArgumentException("No functions given. Use -functions=SphereEvaluation,...");
+		if (branches.isEmpty())
+			branches.add(Branch.AUTO);
+		if (seeds.isEmpty())
+			seeds.add(1L);
+	}
+
+	/** Parse '1,2,5' or '1-30' or a mix of both */
+	private static List<Long> parseSeeds(String value)
+	{
+		List<Long> seeds = new ArrayList<Long>();
+		for (String part : value.split(","))
+		{
+			int dash = part.indexOf('-', 1);
+			if (dash < 0)
+			{
+				seeds.add(Long.parseLong(part.trim()));
+			}
+			else
+			{
+				long first = Long.parseLong(part.substring(0, dash).trim());
+				long last = Long.parseLong(part.substring(dash + 1).trim());
+
+				for (long seed = first; seed <= last; seed++)
+					seeds.add(seed);
+			}
+		}
+		return seeds;
+	}
+
+	/** Run the whole grid. Results are in grid order: branch, function, seed */
+	public List<RunResult> run() throws InterruptedException, ExecutionException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<RunResult>> futures = new ArrayList<Future<RunResult>>();
+			for (final Branch branch : branches)
+			{
+				for (final String function : functions)
+				{
+					for (final long seed : seeds)
+					{
+						futures.add(executor.submit(new Callable<RunResult>()
+						{
+							@Override
+							public RunResult call() throws Exception
+							{
+								return runOnce(branch, function, seed);
+							}
+						}));
+					}
+				}
+			}
+
+			List<RunResult> results = new ArrayList<RunResult>();
+			for (Future<RunResult> future : futures)
+			{
+				results.add(future.get());
+			}
+			return results;
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/** Every run gets its own submission and function instance, so runs don't share any state */
+	private RunResult runOnce(Branch branch, String function, long seed) throws Exception
+	{
+		ContestSubmission contestant = (ContestSubmission) Class.forName(submission).getDeclaredConstructor().newInstance();
+		ContestEvaluation instance = createFunction(function);
+
+		// only offer batch calls when the function supports them, so contest functions are run like in the contest
+		RecordingEvaluation evaluation = instance instanceof BatchEvaluation ? new BatchRecordingEvaluation((BatchEvaluation) instance, branch)
+				: new RecordingEvaluation(instance, branch);
+
+		contestant.setSeed(seed);
+		contestant.setEvaluation(evaluation);
+
+		long start = System.nanoTime();
+		contestant.run();
+		long nanos = System.nanoTime() - start;
+
+		RunStatistics statistics = contestant instanceof RunStatistics ? (RunStatistics) contestant : null;
+		return new RunResult(branch, function, seed, nanos, evaluation, statistics);
+	}
+
+	/** Look for the class as given (e.g. the contest functions), then in the local 'benchmark' package */
+	private static ContestEvaluation createFunction(String name) throws Exception
+	{
+		Class<?> function;
+		try
+		{
+			function = Class.forName(name);
+		}
+		catch (ClassNotFoundException e)
+		{
+			function = Class.forName("benchmark." + name);
+		}
+		return (ContestEvaluation) function.getDeclaredConstructor().newInstance();
+	}
+}
@@ -0,0 +1,206 @@
+package experiment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import model.BoundaryHandler;
+import model.EAUtils;
+import model.FloatEAUtils;
+import model.FloatPopulation;
+import model.Individual;
+import model.SolutionVectors;
+
+/**
+ * Compares memory and throughput of the double genotype (List of Individuals) with the float genotype (FloatPopulation).
+ *
+ * Both run the same (μ, λ) scheme as 'UnimodalSolver.java': uniform parent selection, whole arithmetic recombination,
+ * self adaptive mutation with one step size and (μ, λ) selection. Both paths select with the same threshold algorithm
+ * as FloatEAUtils.μλSelection, so only the genotype storage differs. The fitness is 10 - sphere, computed on a fresh
+ * double[] per child (Individual.getGenotype / FloatPopulation.getGenotype), just like at the ContestEvaluation.evaluate
+ * boundary.
+ *
+ * Usage: java experiment.GenotypeBenchmark [-mu=100000] [-lambda=400000] [-generations=20] [-seed=1]
+ */
+public class GenotypeBenchmark
+{
+	private static final double	σ	= 1;
+	private static final double	ε0	= 0.00005;
+	private static final double	τ	= 1.0 / Math.sqrt(SolutionVectors.DIMENSIONS);
+	private static final double	α	= 0.5;
+
+	public static void main(String[] args)
+	{
+		int μ = 100000;
+		int λ = 400000;
+		int generations = 20;
+		long seed = 1;
+
+		for (String arg : args)
+		{
+			String value = arg.substring(arg.indexOf('=') + 1);
+			if (arg.startsWith("-mu="))
+				μ = Integer.parseInt(value);
+			else if (arg.startsWith("-lambda="))
+				λ = Integer.parseInt(value);
+			else if (arg.startsWith("-generations="))
+				generations = Integer.parseInt(value);
+			else if (arg.startsWith("-seed="))
+				seed = Long.parseLong(value);
+			else
+				throw new IllegalArgumentException("Unknown argument: " + arg);
+		}
+
+		System.out.println(String.format(Locale.ROOT, "mu = %d, lambda = %d, generations = %d, n = %d", μ, λ, generations, SolutionVectors.DIMENSIONS));
+
+		// memory: one generation of λ individuals
+		long doubleBytes = measureDoubleMemory(λ);
+		long floatBytes = measureFloatMemory(λ);
+		report("memory of lambda indiv.", "MB", doubleBytes / 1e6, floatBytes / 1e6);
+
+		// throughput: warm up the JIT once, then measure
+		runDouble(new Random(seed), μ, λ, 2);
+		runFloat(new Random(seed), μ, λ, 2);
+
+		long start = System.nanoTime();
+		double doubleBest = runDouble(new Random(seed), μ, λ, generations);
+		double doubleSeconds = (System.nanoTime() - start) / 1e9;
+
+		start = System.nanoTime();
+		double floatBest = runFloat(new Random(seed), μ, λ, generations);
+		double floatSeconds = (System.nanoTime() - start) / 1e9;
+
+		double evaluations = (double) λ * generations;
+		report("throughput", "evaluations/s", evaluations / doubleSeconds, evaluations / floatSeconds);
+		report("best fitness", "", doubleBest, floatBest);
+	}
+
+	private static void report(String name, String unit, double doubleValue, double floatValue)
+	{
+		System.out.println(String.format(Locale.ROOT, "%-24s double: %14.4f  float: %14.4f  float/double: %.3f  %s", name, doubleValue, floatValue,
+				floatValue / doubleValue, unit));
+	}
+
+	private static long measureDoubleMemory(int λ)
+	{
+		long before = usedMemory();
+		List<Individual> population = EAUtils.initialisationUniformRandom(new Random(0), λ, σ);
+		long bytes = usedMemory() - before;
+
+		// keep the population reachable until it is measured
+		return population.isEmpty() ? 0 : bytes;
+	}
+
+	private static long measureFloatMemory(int λ)
+	{
+		long before = usedMemory();
+		FloatPopulation population = FloatEAUtils.initialisationUniformRandom(new Random(0), λ, σ);
+		long bytes = usedMemory() - before;
+
+		return population.size == 0 ? 0 : bytes;
+	}
+
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static double fitness(double[] genotype)
+	{
+		double sum = 0;
+		for (int i = 0; i < genotype.length; i++)
+		{
+			sum += genotype[i] * genotype[i];
+		}
+		return 10 - sum;
+	}
+
+	/** @return The best fitness of the last generation */
+	private static double runDouble(Random random, int μ, int λ, int generations)
+	{
+		BoundaryHandler boundaryHandler = new BoundaryHandler(BoundaryHandler.Method.REFLECTION);
+		List<Individual> population = EAUtils.initialisationUniformRandom(random, μ, σ);
+
+		for (int g = 0; g < generations; g++)
+		{
+			List<Individual> children = new ArrayList<Individual>(λ);
+			for (Individual[] parents : EAUtils.uniformParentSelection(random, population, λ, 2))
+			{
+				children.addAll(Arrays.asList(EAUtils.wholeArithmeticRecombination(parents, 1, α)));
+			}
+
+			for (Individual child : children)
+			{
+				EAUtils.uncorrelatedMutationWithOneStepSize(random, child, τ, ε0, boundaryHandler);
+				child.fitness = fitness((double[]) child.getGenotype());
+			}
+
+			population = μλSelection(children, μ);
+		}
+
+		double best = Double.NEGATIVE_INFINITY;
+		for (Individual individual : population)
+		{
+			best = Math.max(best, individual.fitness);
+		}
+		return best;
+	}
+
+	/** @return The best fitness of the last generation */
+	private static double runFloat(Random random, int μ, int λ, int generations)
+	{
+		BoundaryHandler boundaryHandler = new BoundaryHandler(BoundaryHandler.Method.REFLECTION);
+		FloatPopulation population = FloatEAUtils.initialisationUniformRandom(random, μ, σ);
+
+		for (int g = 0; g < generations; g++)
+		{
+			int[] matingPools = FloatEAUtils.uniformParentSelection(random, population, λ, 2);
+			FloatPopulation children = FloatEAUtils.wholeArithmeticRecombination(population, matingPools, 1, α);
+
+			for (int i = 0; i < children.size; i++)
+			{
+				FloatEAUtils.uncorrelatedMutationWithOneStepSize(random, children, i, τ, ε0, boundaryHandler);
+				children.fitness[i] = fitness((double[]) children.getGenotype(i));
+			}
+
+			population = FloatEAUtils.μλSelection(children, μ);
+		}
+
+		double best = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < population.size; i++)
+		{
+			best = Math.max(best, population.fitness[i]);
+		}
+		return best;
+	}
+
+	/** FloatEAUtils.μλSelection for a List of Individuals: same threshold, same order of survivors */
+	private static List<Individual> μλSelection(List<Individual> newGeneration, int μ)
+	{
+		double[] fitness = new double[newGeneration.size()];
+		for (int i = 0; i < fitness.length; i++)
+		{
+			fitness[i] = newGeneration.get(i).fitness;
+		}
+		double threshold = FloatEAUtils.selectionThreshold(fitness, μ);
+
+		List<Individual> population = new ArrayList<Individual>(μ);
+		for (int i = 0; i < fitness.length; i++)
+		{
+			if (FloatEAUtils.rankingFitness(fitness[i]) > threshold)
+				population.add(newGeneration.get(i));
+		}
+		for (int i = 0; i < fitness.length && population.size() < μ; i++)
+		{
+			if (FloatEAUtils.rankingFitness(fitness[i]) == threshold)
+				population.add(newGeneration.get(i));
+		}
+		return population;
+	}
+}
@@ -0,0 +1,118 @@
+package experiment;
+
+import java.util.Arrays;
+import java.util.Properties;
+import org.vu.contest.ContestEvaluation;
+
+/**
+ * Wraps a benchmark function and records the best-so-far fitness.
+ *
+ * Only improvements are stored, so the trace stays small even for a million evaluations.
+ * Offers no batch calls, like the contest functions. See 'BatchRecordingEvaluation.java' for functions that do.
+ */
+public class RecordingEvaluation implements ContestEvaluation
+{
+	private final ContestEvaluation	function;
+	private final Properties		properties;
+
+	private int						evaluations;
+	private double					best			= Double.NEGATIVE_INFINITY;
+	private int						traceLength;
+	private int[]					traceEvaluations	= new int[64];		// evaluation count at which the best improved
+	private double[]				traceFitness		= new double[64];	// best fitness after that evaluation
+
+	/**
+	 * @param function
+	 *            The benchmark function
+	 * @param branch
+	 *            Overrides the function properties, so a specific solver is selected
+	 */
+	public RecordingEvaluation(ContestEvaluation function, Branch branch)
+	{
+		this.function = function;
+		this.properties = branch.apply(function.getProperties());
+	}
+
+	public Object evaluate(Object result)
+	{
+		Object fitness = function.evaluate(result);
+
+		if (fitness != null)
+		{
+			evaluations++;
+			double value = (Double) fitness;
+
+			if (value > best)
+			{
+				best = value;
+				record(evaluations, value);
+			}
+		}
+		return fitness;
+	}
+
+	/** Count and record the result of a batch call */
+	protected int recordAll(double[] fitness, int evaluated)
+	{
+		for (int i = 0; i < evaluated; i++)
+		{
+			evaluations++;
+			if (fitness[i] > best)
+			{
+				best = fitness[i];
+				record(evaluations, best);
+			}
+		}
+		return evaluated;
+	}
+
+	private void record(int evaluation, double fitness)
+	{
+		if (traceLength == traceEvaluations.length)
+		{
+			traceEvaluations = Arrays.copyOf(traceEvaluations, 2 * traceLength);
+			traceFitness = Arrays.copyOf(traceFitness, 2 * traceLength);
+		}
+
+		traceEvaluations[traceLength] = evaluation;
+		traceFitness[traceLength] = fitness;
+		traceLength++;
+	}
+
+	public Object getData(Object arg)
+	{
+		return function.getData(arg);
+	}
+
+	public double getFinalResult()
+	{
+		return function.getFinalResult();
+	}
+
+	public Properties getProperties()
+	{
+		return properties;
+	}
+
+	public int getEvaluations()
+	{
+		return evaluations;
+	}
+
+	public double getBest()
+	{
+		return best;
+	}
+
+	/** @return For each improvement: the evaluation count at which it happened */
+	public int[] getTraceEvaluations()
+	{
+		return Arrays.copyOf(traceEvaluations, traceLength);
+	}
+
+	/** @return For each improvement: the new best-so-far fitness */
+	public double[] getTraceFitness()
+	{
+		return Arrays.copyOf(traceFitness, traceLength);
+	}
+}
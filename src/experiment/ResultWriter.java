@@ -0,0 +1,273 @@
+package experiment;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the results of an experiment:
+ *
+ * runs.csv:	One line per run: best fitness, evaluations, evaluations/second, boundary repairs and local search
+ * traces.bin:	Best-so-far fitness vs evaluations of every run (binary, see writeTraces)
+ * summary.csv:	Per (branch, function): median best fitness and mean evaluations/second
+ * targets.csv:	Per (branch, function, target): success rate and expected evaluations to reach the target (ERT)
+ * ecdf.csv:	Per (branch, function): fraction of (run, target) pairs reached vs evaluations
+ */
+public class ResultWriter
+{
+	public static final int		TRACE_FORMAT_VERSION	= 1;
+
+	private static final int	ECDF_STEPS_PER_DECADE	= 5;
+
+	private final File			directory;
+	private final double[]		targets;
+
+	/**
+	 * @param directory
+	 *            Output directory. Created when it doesn't exist
+	 * @param targets
+	 *            Fitness values used for the evaluations-to-target and ECDF summaries
+	 */
+	public ResultWriter(File directory, double[] targets)
+	{
+		this.directory = directory;
+		this.targets = targets;
+	}
+
+	public void write(List<RunResult> results) throws IOException
+	{
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Cannot create directory: " + directory);
+
+		Map<String, List<RunResult>> groups = group(results);
+
+		writeRuns(results);
+		writeTraces(results);
+		writeSummary(groups);
+		writeTargets(groups);
+		writeEcdf(groups);
+	}
+
+	/** Group the runs by (branch, function), in order of appearance */
+	private static Map<String, List<RunResult>> group(List<RunResult> results)
+	{
+		Map<String, List<RunResult>> groups = new LinkedHashMap<String, List<RunResult>>();
+		for (RunResult result : results)
+		{
+			String key = result.branch.getName() + "," + result.function;
+			List<RunResult> group = groups.get(key);
+
+			if (group == null)
+				groups.put(key, group = new ArrayList<RunResult>());
+
+			group.add(result);
+		}
+		return groups;
+	}
+
+	private void writeRuns(List<RunResult> results) throws IOException
+	{
+		PrintWriter out = new PrintWriter(new File(directory, "runs.csv"), "UTF-8");
+		try
+		{
+			out.println("branch,function,seed,evaluations,seconds,evaluations_per_second,best,boundary_repairs,boundary_resamples,"
+					+ "local_search_evaluations,local_search_cache_hits");
+			for (RunResult result : results)
+			{
+				out.println(format("%s,%s,%d,%d,%.6f,%.1f,%.12g,%d,%d,%d,%d", result.branch.getName(), result.function, result.seed,
+						result.evaluations, result.nanos / 1e9, result.getThroughput(), result.best, result.boundaryRepairs, result.boundaryResamples,
+						result.localSearchEvaluations, result.localSearchCacheHits));
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Layout (big endian, java.io.DataOutput):
+	 *
+	 * int version, int runs, then per run:
+	 * UTF branch, UTF function, long seed, long nanos, int evaluations, int n, n × (int evaluation, double fitness)
+	 */
+	private void writeTraces(List<RunResult> results) throws IOException
+	{
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(directory, "traces.bin"))));
+		try
+		{
+			out.writeInt(TRACE_FORMAT_VERSION);
+			out.writeInt(results.size());
+
+			for (RunResult result : results)
+			{
+				out.writeUTF(result.branch.getName());
+				out.writeUTF(result.function);
+				out.writeLong(result.seed);
+				out.writeLong(result.nanos);
+				out.writeInt(result.evaluations);
+				out.writeInt(result.traceEvaluations.length);
+
+				for (int i = 0; i < result.traceEvaluations.length; i++)
+				{
+					out.writeInt(result.traceEvaluations[i]);
+					out.writeDouble(result.traceFitness[i]);
+				}
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	private void writeSummary(Map<String, List<RunResult>> groups) throws IOException
+	{
+		PrintWriter out = new PrintWriter(new File(directory, "summary.csv"), "UTF-8");
+		try
+		{
+			out.println("branch,function,runs,best_min,best_median,best_max,evaluations_per_second_mean");
+			for (Map.Entry<String, List<RunResult>> group : groups.entrySet())
+			{
+				List<RunResult> runs = group.getValue();
+				double[] best = new double[runs.size()];
+				double throughput = 0;
+
+				for (int i = 0; i < runs.size(); i++)
+				{
+					best[i] = runs.get(i).best;
+					throughput += runs.get(i).getThroughput();
+				}
+				Arrays.sort(best);
+
+				out.println(format("%s,%d,%.12g,%.12g,%.12g,%.1f", group.getKey(), runs.size(), best[0], median(best),
+						best[best.length - 1], throughput / runs.size()));
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/** ERT = (evaluations of all runs until the target is reached, or until the end) / number of successful runs */
+	private void writeTargets(Map<String, List<RunResult>> groups) throws IOException
+	{
+		PrintWriter out = new PrintWriter(new File(directory, "targets.csv"), "UTF-8");
+		try
+		{
+			out.println("branch,function,target,successes,runs,ert,evaluations_to_target_median");
+			for (Map.Entry<String, List<RunResult>> group : groups.entrySet())
+			{
+				List<RunResult> runs = group.getValue();
+
+				for (double target : targets)
+				{
+					long spent = 0;
+					int successes = 0;
+					double[] hits = new double[runs.size()];
+
+					for (RunResult run : runs)
+					{
+						int needed = run.evaluationsToTarget(target);
+						if (needed >= 0)
+						{
+							spent += needed;
+							hits[successes++] = needed;
+						}
+						else
+						{
+							spent += run.evaluations;
+						}
+					}
+
+					double ert = successes > 0 ? (double) spent / successes : Double.POSITIVE_INFINITY;
+					double median = successes > 0 ? median(sorted(hits, successes)) : Double.NaN;
+
+					out.println(format("%s,%.12g,%d,%d,%.1f,%.1f", group.getKey(), target, successes, runs.size(), ert, median));
+				}
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/** Checkpoints are log-spaced: ECDF_STEPS_PER_DECADE per factor 10 of evaluations */
+	private void writeEcdf(Map<String, List<RunResult>> groups) throws IOException
+	{
+		PrintWriter out = new PrintWriter(new File(directory, "ecdf.csv"), "UTF-8");
+		try
+		{
+			out.println("branch,function,evaluations,fraction");
+			for (Map.Entry<String, List<RunResult>> group : groups.entrySet())
+			{
+				List<RunResult> runs = group.getValue();
+
+				// evaluations needed per (run, target), sorted. Pairs that were never reached are left out
+				int[] needed = new int[runs.size() * targets.length];
+				int reached = 0;
+				int maxEvaluations = 1;
+
+				for (RunResult run : runs)
+				{
+					maxEvaluations = Math.max(maxEvaluations, run.evaluations);
+					for (double target : targets)
+					{
+						int n = run.evaluationsToTarget(target);
+						if (n >= 0)
+							needed[reached++] = n;
+					}
+				}
+				Arrays.sort(needed, 0, reached);
+
+				int index = 0;
+				for (int step = 0;; step++)
+				{
+					int checkpoint = (int) Math.min(maxEvaluations, Math.round(Math.pow(10, (double) step / ECDF_STEPS_PER_DECADE)));
+
+					while (index < reached && needed[index] <= checkpoint)
+						index++;
+
+					out.println(format("%s,%d,%.6f", group.getKey(), checkpoint, (double) index / needed.length));
+
+					if (checkpoint == maxEvaluations)
+						break;
+				}
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	private static double[] sorted(double[] values, int length)
+	{
+		double[] copy = Arrays.copyOf(values, length);
+		Arrays.sort(copy);
+		return copy;
+	}
+
+	/** @return The median of a sorted, non-empty array */
+	private static double median(double[] sorted)
+	{
+		int middle = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+	}
+
+	private static String format(String format, Object... args)
+	{
+		return String.format(Locale.ROOT, format, args);
+	}
+}
@@ -0,0 +1,61 @@
+package experiment;
+
+import model.RunStatistics;
+
+/** The outcome of one (branch, function, seed) run */
+public class RunResult
+{
+	public final Branch		branch;
+	public final String		function;
+	public final long		seed;
+	public final int		evaluations;			// Number of evaluations used
+	public final long		nanos;					// Wall-clock duration of run()
+	public final double		best;					// Best fitness found
+	public final int[]		traceEvaluations;		// Evaluation count of every improvement
+	public final double[]	traceFitness;			// Best-so-far fitness after every improvement
+	public final long		boundaryRepairs;		// Mutated values that left the domain and were repaired
+	public final long		boundaryResamples;		// Extra mutation steps drawn by boundary handling
+	public final long		localSearchEvaluations;	// Evaluations used by the local search
+	public final long		localSearchCacheHits;	// Local search probes answered by its cache
+
+	/**
+	 * @param statistics
+	 *            Counters of the submission. null when the submission doesn't report them
+	 */
+	public RunResult(Branch branch, String function, long seed, long nanos, RecordingEvaluation evaluation, RunStatistics statistics)
+	{
+		this.branch = branch;
+		this.function = function;
+		this.seed = seed;
+		this.nanos = nanos;
+		this.evaluations = evaluation.getEvaluations();
+		this.best = evaluation.getBest();
+		this.traceEvaluations = evaluation.getTraceEvaluations();
+		this.traceFitness = evaluation.getTraceFitness();
+		this.boundaryRepairs = statistics != null ? statistics.getBoundaryRepairs() : 0;
+		this.boundaryResamples = statistics != null ? statistics.getBoundaryResamples() : 0;
+		this.localSearchEvaluations = statistics != null ? statistics.getLocalSearchEvaluations() : 0;
+		this.localSearchCacheHits = statistics != null ? statistics.getLocalSearchCacheHits() : 0;
+	}
+
+	/** @return Evaluations per second */
+	public double getThroughput()
+	{
+		return nanos > 0 ? evaluations * 1e9 / nanos : 0;
+	}
+
+	/**
+	 * @param target
+	 *            The fitness to reach
+	 * @return The number of evaluations needed to reach the target, or -1 when it was never reached
+	 */
+	public int evaluationsToTarget(double target)
+	{
+		for (int i = 0; i < traceFitness.length; i++)
+		{
+			if (traceFitness[i] >= target)
+				return traceEvaluations[i];
+		}
+		return -1;
+	}
+}
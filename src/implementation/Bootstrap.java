@@ -1,7 +1,10 @@
 package implementation;
 
+import java.util.Locale;
 import java.util.Random;
+import model.BoundaryHandler;
 import model.EvolutionaryAlgorithm;
+import model.PatternSearch;
 import model.SolutionVectors;
 
 /**
@@ -9,6 +12,12 @@ import model.SolutionVectors;
  */
 public class Bootstrap
 {
+	/**
+	 * Boundary handling of the mutation. Can be overridden with e.g. -DboundaryHandling=toroidal. With σ capped at
+	 * BoundaryHandler.MAX_σ, the methods are within noise of each other on Katsuura (8 seeds)
+	 */
+	public static final String	BOUNDARY_HANDLING	= "reflection";
+
 	/**
 	 * Choose an EA and set the parameters.
 	 * 
@@ -27,8 +36,9 @@ public class Bootstrap
 	public static EvolutionaryAlgorithm getEvolutionaryAlgorithm(Random random, boolean isMultimodal, boolean isRegular, boolean isSeparable, int evaluationLimit)
 	{
 		EvolutionaryAlgorithm selectedEA;
-		int μ, λ, breedings;
-		double σ, ε0, τ, τ1, τ2, α;
+		int μ, λ, breedings, stagnationLimit, refinements;
+		double σ, ε0, τ, τ1, τ2, α, localSearchStart;
+		BoundaryHandler boundaryHandler = new BoundaryHandler(BoundaryHandler.Method.valueOf(System.getProperty("boundaryHandling", BOUNDARY_HANDLING).toUpperCase(Locale.ROOT)));
 
 		if (isMultimodal)
 		{
@@ -48,7 +58,7 @@ public class Bootstrap
 			τ2 = 1.0 / Math.sqrt(2.0 * Math.sqrt(SolutionVectors.DIMENSIONS)); // τ ∝ 1/√(2√n)
 			breedings = 1;
 			α = 0.5;
-			selectedEA = new MultimodalSolver(μ, λ, σ, ε0, τ1, τ2, breedings, α);
+			selectedEA = new MultimodalSolver(μ, λ, σ, ε0, τ1, τ2, breedings, α, boundaryHandler);
 		}
 		else
 		{
@@ -59,7 +69,10 @@ public class Bootstrap
 			τ = 1.0 / Math.sqrt(SolutionVectors.DIMENSIONS); // τ ∝ 1/√n
 			breedings = 1;
 			α = 0.5;
-			selectedEA = new UnimodalSolver(μ, λ, σ, ε0, τ, breedings, α);
+			localSearchStart = 0.8; // last 20% of the budget
+			stagnationLimit = 10;
+			refinements = 1;
+			selectedEA = new UnimodalSolver(μ, λ, σ, ε0, τ, breedings, α, boundaryHandler, new PatternSearch(1e-9), localSearchStart, stagnationLimit, refinements);
 		}
 
 		return selectedEA;
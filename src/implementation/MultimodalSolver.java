@@ -2,9 +2,12 @@ package implementation;
 
 import java.util.List;
 import java.util.Random;
+import model.BoundaryHandler;
 import model.EAUtils;
+import model.Evaluator;
 import model.EvolutionaryAlgorithm;
 import model.Individual;
+import model.TimeBudget;
 
 /**
  * Our solution for a multimodal function problem
@@ -19,15 +22,17 @@ import model.Individual;
  */
 public class MultimodalSolver implements EvolutionaryAlgorithm
 {
-	private int		μ;
-	private int		λ;
-	private double	σ;
-	private double	ε0;
-	private double	τ1;
-	private double	τ2;
-	private int		breedings;
-	private double	α;
-	private int		matingPoolSize	= 2;	// Number of parents per family. 2 because of WholeArithmeticRecombination
+	private int				μ;
+	private int				λ;
+	private int				maximumλ;				// λ as set in 'Bootstrap.java'. The time budget only lowers λ
+	private double			σ;
+	private double			ε0;
+	private double			τ1;
+	private double			τ2;
+	private int				breedings;
+	private double			α;
+	private int				matingPoolSize	= 2;	// Number of parents per family. 2 because of WholeArithmeticRecombination
+	private BoundaryHandler	boundaryHandler;
 
 	/**
 	 * @param μ
@@ -46,17 +51,21 @@ public class MultimodalSolver implements EvolutionaryAlgorithm
 	 *            Amount of offspring per mating pool
 	 * @param α
 	 *            Whole Arithmetic Recombination parameter
+	 * @param boundaryHandler
+	 *            Keeps mutated values inside the domain
 	 */
-	public MultimodalSolver(int μ, int λ, double σ, double ε0, double τ1, double τ2, int breedings, double α)
+	public MultimodalSolver(int μ, int λ, double σ, double ε0, double τ1, double τ2, int breedings, double α, BoundaryHandler boundaryHandler)
 	{
 		this.μ = μ;
 		this.λ = λ;
+		this.maximumλ = λ;
 		this.σ = σ;
 		this.ε0 = ε0;
 		this.τ1 = τ1;
 		this.τ2 = τ2;
 		this.breedings = breedings;
 		this.α = α;
+		this.boundaryHandler = boundaryHandler;
 	}
 
 	public List<Individual> initialisation(Random random)
@@ -71,7 +80,7 @@ public class MultimodalSolver implements EvolutionaryAlgorithm
 
 	public void mutation(Random random, Individual individual)
 	{
-		EAUtils.uncorrelatedMutationWithNStepSizes(random, individual, τ1, τ2, ε0);
+		EAUtils.uncorrelatedMutationWithNStepSizes(random, individual, τ1, τ2, ε0, boundaryHandler);
 	}
 
 	public List<Individual[]> parentSelection(Random random, List<Individual> population)
@@ -84,4 +93,29 @@ public class MultimodalSolver implements EvolutionaryAlgorithm
 	{
 		return EAUtils.μλSelection(oldGeneration, newGeneration, μ, λ);
 	}
+
+	public void adaptOffspring(TimeBudget timeBudget)
+	{
+		λ = timeBudget.adaptλ(λ, maximumλ, μ, breedings);
+	}
+
+	public void localSearch(List<Individual> population, int evaluationCount, int evaluationLimit, Evaluator evaluator)
+	{
+		// no local search: it would get stuck in the nearest local optimum
+	}
+
+	public BoundaryHandler getBoundaryHandler()
+	{
+		return boundaryHandler;
+	}
+
+	public long getLocalSearchEvaluations()
+	{
+		return 0;
+	}
+
+	public long getLocalSearchCacheHits()
+	{
+		return 0;
+	}
 }
@@ -1,10 +1,17 @@
 package implementation;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import model.BoundaryHandler;
 import model.EAUtils;
+import model.Evaluator;
 import model.EvolutionaryAlgorithm;
 import model.Individual;
+import model.PatternSearch;
+import model.TimeBudget;
 
 /**
  * Our solution for an unimodal function problem
@@ -13,20 +20,41 @@ import model.Individual;
  * Recombination:		Intermediate / whole arithmetic
  * Mutation:			Self adaptive mutation with one step size
  * Parent selection:	Uniform random
- * Survivor selection:	(μ, λ) Selection
+ * Survivor selection:	(μ, λ) Selection. Refined individuals survive as long as they are among the μ fittest
+ * Local search:		Hooke-Jeeves pattern search on the best individuals, near the end of the budget or on stagnation
  * 
  * Parameters are set in 'Bootstrap.java'
  */
 public class UnimodalSolver implements EvolutionaryAlgorithm
 {
-	private int		μ;
-	private int		λ;
-	private double	σ;
-	private double	ε0;
-	private double	τ;
-	private double	α;
-	private int		breedings;
-	private int		matingPoolSize	= 2;	// Number of parents per family. 2 because of WholeArithmeticRecombination
+	private int				μ;
+	private int				λ;
+	private int				maximumλ;				// λ as set in 'Bootstrap.java'. The time budget only lowers λ
+	private double			σ;
+	private double			ε0;
+	private double			τ;
+	private double			α;
+	private int				breedings;
+	private int				matingPoolSize	= 2;	// Number of parents per family. 2 because of WholeArithmeticRecombination
+	private BoundaryHandler	boundaryHandler;
+	private PatternSearch	patternSearch;
+	private double			localSearchStart;
+	private int				stagnationLimit;
+	private int				refinements;
+	private boolean			localSearchStarted;		// True after the budget fraction was reached once
+	private int				stagnation;				// Generations without improvement of the best fitness
+	private double			bestFitness		= Double.NEGATIVE_INFINITY;
+
+	private List<Individual>	refined	= new ArrayList<Individual>();	// Refined individuals that are still alive
+
+	private static final Comparator<Individual>	FITTEST_FIRST	= new Comparator<Individual>()
+	{
+		@Override
+		public int compare(Individual i1, Individual i2)
+		{
+			return Double.compare(i2.fitness, i1.fitness);
+		}
+	};
 
 	/**
 	 * @param μ
@@ -43,16 +71,33 @@ public class UnimodalSolver implements EvolutionaryAlgorithm
 	 *            Amount of offspring per mating pool
 	 * @param α
 	 *            Whole Arithmetic Recombination parameter
+	 * @param boundaryHandler
+	 *            Keeps mutated values inside the domain
+	 * @param patternSearch
+	 *            The local search
+	 * @param localSearchStart
+	 *            Range: [0-1]. Start the local search after this fraction of the evaluation budget
+	 * @param stagnationLimit
+	 *            Also start the local search after this many generations without improvement
+	 * @param refinements
+	 *            Amount of best individuals that are refined by the local search
 	 */
-	public UnimodalSolver(int μ, int λ, double σ, double ε0, double τ, int breedings, double α)
+	public UnimodalSolver(int μ, int λ, double σ, double ε0, double τ, int breedings, double α, BoundaryHandler boundaryHandler,
+			PatternSearch patternSearch, double localSearchStart, int stagnationLimit, int refinements)
 	{
 		this.μ = μ;
 		this.λ = λ;
+		this.maximumλ = λ;
 		this.σ = σ;
 		this.ε0 = ε0;
 		this.τ = τ;
 		this.breedings = breedings;
 		this.α = α;
+		this.boundaryHandler = boundaryHandler;
+		this.patternSearch = patternSearch;
+		this.localSearchStart = localSearchStart;
+		this.stagnationLimit = stagnationLimit;
+		this.refinements = refinements;
 	}
 
 	public List<Individual> initialisation(Random random)
@@ -67,7 +112,7 @@ public class UnimodalSolver implements EvolutionaryAlgorithm
 
 	public void mutation(Random random, Individual individual)
 	{
-		EAUtils.uncorrelatedMutationWithOneStepSize(random, individual, τ, ε0);
+		EAUtils.uncorrelatedMutationWithOneStepSize(random, individual, τ, ε0, boundaryHandler);
 	}
 
 	public List<Individual[]> parentSelection(Random random, List<Individual> population)
@@ -78,6 +123,81 @@ public class UnimodalSolver implements EvolutionaryAlgorithm
 
 	public List<Individual> survivorSelection(Random random, List<Individual> oldGeneration, List<Individual> newGeneration)
 	{
-		return EAUtils.μλSelection(oldGeneration, newGeneration, μ, λ);
+		// the weakest are at the beginning of the list
+		List<Individual> population = EAUtils.μλSelection(oldGeneration, newGeneration, μ, λ);
+
+		// elitism for refined individuals: the fittest replace the weakest children they beat. Otherwise (μ, λ) would
+		// throw away the evaluations spent by the local search
+		Collections.sort(refined, FITTEST_FIRST);
+
+		List<Individual> survivors = new ArrayList<Individual>();
+		for (Individual individual : refined)
+		{
+			int weakest = survivors.size();
+			if (weakest < population.size() && individual.fitness > population.get(weakest).fitness)
+			{
+				population.set(weakest, individual);
+				survivors.add(individual);
+			}
+		}
+		refined = survivors;
+
+		return population;
+	}
+
+	public void adaptOffspring(TimeBudget timeBudget)
+	{
+		λ = timeBudget.adaptλ(λ, maximumλ, μ, breedings);
+	}
+
+	public void localSearch(List<Individual> population, int evaluationCount, int evaluationLimit, Evaluator evaluator)
+	{
+		// sort a copy of the population so that the 'fittest' will be at the beginning of the list
+		List<Individual> fittest = new ArrayList<Individual>(population);
+		Collections.sort(fittest, FITTEST_FIRST);
+
+		// stagnation: no better individual than in previous generations
+		if (fittest.get(0).fitness > bestFitness)
+		{
+			bestFitness = fittest.get(0).fitness;
+			stagnation = 0;
+		}
+		else
+		{
+			stagnation++;
+		}
+
+		boolean budgetReached = !localSearchStarted && evaluationCount >= localSearchStart * evaluationLimit;
+		if (!budgetReached && stagnation < stagnationLimit)
+			return;
+
+		localSearchStarted = true;
+		stagnation = 0;
+
+		// refine the best individuals, starting at the scale the EA has reached
+		for (int i = 0; i < Math.min(refinements, fittest.size()); i++)
+		{
+			Individual individual = fittest.get(i);
+			patternSearch.refine(individual, Math.max(individual.σ, ε0), evaluator);
+			bestFitness = Math.max(bestFitness, individual.fitness);
+
+			if (!refined.contains(individual))
+				refined.add(individual);
+		}
+	}
+
+	public long getLocalSearchEvaluations()
+	{
+		return patternSearch.getEvaluations();
+	}
+
+	public long getLocalSearchCacheHits()
+	{
+		return patternSearch.getCacheHits();
+	}
+
+	public BoundaryHandler getBoundaryHandler()
+	{
+		return boundaryHandler;
 	}
 }
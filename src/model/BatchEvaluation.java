@@ -0,0 +1,29 @@
+package model;
+
+import org.vu.contest.ContestEvaluation;
+
+/** A ContestEvaluation that can evaluate many genotypes in one call */
+public interface BatchEvaluation extends ContestEvaluation
+{
+	/**
+	 * Evaluate genotypes that are stored next to each other: genotype i is at [i · n, (i + 1) · n)
+	 *
+	 * @param genotypes
+	 *            count × n values
+	 * @param count
+	 *            Number of genotypes
+	 * @param fitness
+	 *            Receives the fitness of every evaluated genotype
+	 * @return The number of evaluated genotypes. Less than count when the evaluation limit is reached
+	 */
+	int evaluate(double[] genotypes, int count, double[] fitness);
+
+	/**
+	 * @param genotypes
+	 *            One double[n] per genotype
+	 * @param fitness
+	 *            Receives the fitness of every evaluated genotype
+	 * @return The number of evaluated genotypes. Less than genotypes.length when the evaluation limit is reached
+	 */
+	int evaluate(double[][] genotypes, double[] fitness);
+}
@@ -0,0 +1,139 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Keeps mutated values inside [LOWER_BOUND, UPPER_BOUND], so no evaluation is wasted on a point outside the domain.
+ *
+ * Used inside the mutation loops, one value at a time. Counts how often a repair was needed.
+ */
+public class BoundaryHandler
+{
+	/** What to do with a value outside the domain */
+	public enum Method
+	{
+		NONE, // leave it outside
+		REFLECTION, // mirror at the bound
+		TOROIDAL, // wrap around: leaving at the upper bound enters at the lower bound
+		RESAMPLING, // draw a new mutation step. After MAX_RESAMPLES failures, or when σ ≥ MAX_RESAMPLING_σ: MIDPOINT
+		MIDPOINT // halfway between the parent value and the crossed bound
+	}
+
+	public static final int		MAX_RESAMPLES		= 100;
+	public static final double	MAX_RESAMPLING_σ	= 10 * SolutionVectors.SIZE;
+	public static final double	MAX_σ				= SolutionVectors.SIZE;	// Upper bound of σ. Beyond this, reflection is close to uniform sampling
+
+	private final Method	method;
+	private long			repairs;	// Number of values that left the domain and were repaired
+	private long			resamples;	// Number of extra mutation steps drawn by RESAMPLING
+
+	public BoundaryHandler(Method method)
+	{
+		this.method = method;
+	}
+
+	/**
+	 * Mutate one value: x + σ · N(0, 1), repaired when it leaves the domain
+	 *
+	 * @param random
+	 *            The random object used for all randomness within this function
+	 * @param x
+	 *            The parent value. Should be inside the domain
+	 * @param σ
+	 *            Mutation step size
+	 * @return The mutated value
+	 */
+	public double mutate(Random random, double x, double σ)
+	{
+		double y = x + σ * random.nextGaussian();
+
+		if (method == Method.NONE || (y >= SolutionVectors.LOWER_BOUND && y <= SolutionVectors.UPPER_BOUND))
+			return y;
+
+		repairs++;
+
+		// with a step much larger than the domain a new draw almost never lands inside: don't waste time on it
+		if (method == Method.RESAMPLING && σ < MAX_RESAMPLING_σ)
+		{
+			for (int i = 0; i < MAX_RESAMPLES; i++)
+			{
+				resamples++;
+				y = x + σ * random.nextGaussian();
+
+				if (y >= SolutionVectors.LOWER_BOUND && y <= SolutionVectors.UPPER_BOUND)
+					return y;
+			}
+			return midpoint(x, y);
+		}
+
+		return repair(x, y);
+	}
+
+	/**
+	 * @param x
+	 *            The parent value
+	 * @param y
+	 *            The mutated value, outside the domain
+	 * @return y moved back inside the domain
+	 */
+	private double repair(double x, double y)
+	{
+		// a huge σ can overflow the step. Reflection and wrapping can't handle that
+		if (Double.isInfinite(y) || Double.isNaN(y))
+			return midpoint(x, y);
+
+		switch (method)
+		{
+			case REFLECTION:
+			{
+				// fold onto [0, 2·SIZE): the second half runs backwards. This also handles steps larger than the domain
+				double offset = (y - SolutionVectors.LOWER_BOUND) % (2 * SolutionVectors.SIZE);
+				if (offset < 0)
+					offset += 2 * SolutionVectors.SIZE;
+
+				return offset <= SolutionVectors.SIZE ? SolutionVectors.LOWER_BOUND + offset : SolutionVectors.UPPER_BOUND - (offset - SolutionVectors.SIZE);
+			}
+			case TOROIDAL:
+			{
+				double offset = (y - SolutionVectors.LOWER_BOUND) % SolutionVectors.SIZE;
+				if (offset < 0)
+					offset += SolutionVectors.SIZE;
+
+				return SolutionVectors.LOWER_BOUND + offset;
+			}
+			default:
+				return midpoint(x, y);
+		}
+	}
+
+	private static double midpoint(double x, double y)
+	{
+		double bound = y < SolutionVectors.LOWER_BOUND ? SolutionVectors.LOWER_BOUND : SolutionVectors.UPPER_BOUND;
+
+		// the parent should be inside the domain, but make sure the result is
+		return Math.max(SolutionVectors.LOWER_BOUND, Math.min(SolutionVectors.UPPER_BOUND, (x + bound) / 2));
+	}
+
+	public Method getMethod()
+	{
+		return method;
+	}
+
+	/** @return Number of mutated values that left the domain and were repaired */
+	public long getRepairs()
+	{
+		return repairs;
+	}
+
+	/** @return Number of extra mutation steps drawn by RESAMPLING */
+	public long getResamples()
+	{
+		return resamples;
+	}
+
+	public void resetCounters()
+	{
+		repairs = 0;
+		resamples = 0;
+	}
+}
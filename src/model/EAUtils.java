@@ -159,10 +159,12 @@ public class EAUtils
 	 * @param τ2
 	 *            Learning rate: τ ∝ 1/√(2√n). Where n = problem_size/number_of_variables
 	 * @param ε0
-	 *            Lower bound of σ
+	 *            Lower bound of σ. The upper bound is BoundaryHandler.MAX_σ
+	 * @param boundaryHandler
+	 *            Keeps x inside the domain
 	 * @return The newly created babies
 	 */
-	public static void uncorrelatedMutationWithNStepSizes(Random random, Individual individual, double τ1, double τ2, double ε0)
+	public static void uncorrelatedMutationWithNStepSizes(Random random, Individual individual, double τ1, double τ2, double ε0, BoundaryHandler boundaryHandler)
 	{
 		double N = random.nextGaussian();
 
@@ -171,12 +173,14 @@ public class EAUtils
 			// σ' = σ · e^(τ' · N(0,1) + τ · Ni(0,1))
 			individual.σs[i] *= Math.exp(τ1 * N + τ2 * random.nextGaussian());
 
-			// σ < ε0 ⇒ σ = ε0
+			// σ < ε0 ⇒ σ = ε0, σ > MAX_σ ⇒ σ = MAX_σ
 			if (individual.σs[i] < ε0)
 				individual.σs[i] = ε0;
+			else if (individual.σs[i] > BoundaryHandler.MAX_σ)
+				individual.σs[i] = BoundaryHandler.MAX_σ;
 
 			// xi = xi + σi · Ni(0, 1)
-			individual.x[i] += individual.σs[i] * random.nextGaussian();
+			individual.x[i] = boundaryHandler.mutate(random, individual.x[i], individual.σs[i]);
 		}
 	}
 
@@ -190,22 +194,26 @@ public class EAUtils
 	 * @param τ
 	 *            Learning rate: τ ∝ 1/√n. Where n = problem_size/number_of_variables
 	 * @param ε0
-	 *            Lower bound of σ
+	 *            Lower bound of σ. The upper bound is BoundaryHandler.MAX_σ
+	 * @param boundaryHandler
+	 *            Keeps x inside the domain
 	 * @return The newly created babies
 	 */
-	public static void uncorrelatedMutationWithOneStepSize(Random random, Individual individual, double τ, double ε0)
+	public static void uncorrelatedMutationWithOneStepSize(Random random, Individual individual, double τ, double ε0, BoundaryHandler boundaryHandler)
 	{
 		// σ' = σ · e^(τ · N(0,1))
 		individual.σ *= Math.exp(τ * random.nextGaussian());
 
-		// σ < ε0 ⇒ σ = ε0
+		// σ < ε0 ⇒ σ = ε0, σ > MAX_σ ⇒ σ = MAX_σ
 		if (individual.σ < ε0)
 			individual.σ = ε0;
+		else if (individual.σ > BoundaryHandler.MAX_σ)
+			individual.σ = BoundaryHandler.MAX_σ;
 
 		for (int i = 0; i < SolutionVectors.DIMENSIONS; i++)
 		{
 			// x = x + σ · N(0, 1)
-			individual.x[i] += individual.σ * random.nextGaussian();
+			individual.x[i] = boundaryHandler.mutate(random, individual.x[i], individual.σ);
 		}
 	}
 
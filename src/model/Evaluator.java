@@ -0,0 +1,12 @@
+package model;
+
+/** Evaluates one point. Shares the evaluation budget with the rest of the run */
+public interface Evaluator
+{
+	/**
+	 * @param x
+	 *            The genotype. Must not be changed afterwards
+	 * @return The fitness, or null when the evaluation budget is exhausted
+	 */
+	Double evaluate(double[] x);
+}
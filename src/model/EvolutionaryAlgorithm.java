@@ -59,4 +59,36 @@ public interface EvolutionaryAlgorithm
 	 * @return Choose and return the new population
 	 */
 	List<Individual> survivorSelection(Random random, List<Individual> oldGeneration, List<Individual> newGeneration);
+
+	/**
+	 * Change the amount of offspring per generation, so that one generation fits the time budget
+	 * 
+	 * @param timeBudget
+	 *            Contains the measured cost of the last generation
+	 */
+	void adaptOffspring(TimeBudget timeBudget);
+
+	/**
+	 * Refine the population with a local search, when it's time for it. Called once per generation, after survivor
+	 * selection
+	 * 
+	 * @param population
+	 *            The current population. Individuals are refined in place
+	 * @param evaluationCount
+	 *            Number of evaluations used so far
+	 * @param evaluationLimit
+	 *            The available number of evaluations for one run
+	 * @param evaluator
+	 *            Evaluates within the same budget as the rest of the run
+	 */
+	void localSearch(List<Individual> population, int evaluationCount, int evaluationLimit, Evaluator evaluator);
+
+	/** @return The boundary handler used by the mutation. Contains the repair counters */
+	BoundaryHandler getBoundaryHandler();
+
+	/** @return Number of evaluations used by localSearch(). 0 when there is no local search */
+	long getLocalSearchEvaluations();
+
+	/** @return Number of localSearch() probes answered by its cache, without an evaluation. 0 when there is no local search */
+	long getLocalSearchCacheHits();
 }
@@ -0,0 +1,246 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * EA Utilities for a FloatPopulation. The same 'components' as in 'EAUtils.java', in single precision.
+ *
+ * Individuals are referred to by their index in the population. Arithmetic is done in double and stored as float.
+ */
+public class FloatEAUtils
+{
+	/**
+	 * Generates and returns a new population with uniform-randomly initialized individuals
+	 *
+	 * @param random
+	 *            The random object used for all randomness within this function
+	 * @param μ
+	 *            Population size
+	 * @param σ
+	 *            Initial mutation step size
+	 * @return The population
+	 */
+	public static FloatPopulation initialisationUniformRandom(Random random, int μ, double σ)
+	{
+		FloatPopulation population = new FloatPopulation(μ);
+
+		for (int i = 0; i < μ * SolutionVectors.DIMENSIONS; i++)
+		{
+			population.x[i] = (float) (SolutionVectors.LOWER_BOUND + random.nextDouble() * SolutionVectors.SIZE);
+			population.σs[i] = (float) σ;
+		}
+
+		for (int i = 0; i < μ; i++)
+		{
+			population.σ[i] = (float) σ;
+		}
+
+		return population;
+	}
+
+	/**
+	 * Uniform parent selection
+	 *
+	 * @param random
+	 *            The random object used for all randomness within this function
+	 * @param population
+	 *            The whole population
+	 * @param numMatingPools
+	 *            The number of parent couples
+	 * @param matingPoolSize
+	 *            The number of parents per couple
+	 * @return Indices of the parents: mating pool i is at [i · matingPoolSize, (i + 1) · matingPoolSize)
+	 */
+	public static int[] uniformParentSelection(Random random, FloatPopulation population, int numMatingPools, int matingPoolSize)
+	{
+		int[] matingPools = new int[numMatingPools * matingPoolSize];
+
+		for (int i = 0; i < matingPools.length; i++)
+		{
+			matingPools[i] = random.nextInt(population.size);
+		}
+
+		return matingPools;
+	}
+
+	/**
+	 * Whole Arithmetic Recombination of all mating pools at once
+	 *
+	 * @param parents
+	 *            The population containing the parents
+	 * @param matingPools
+	 *            Parent indices, 2 per mating pool. See uniformParentSelection
+	 * @param breedings
+	 *            The number of babies per mating pool
+	 * @param α
+	 *            Range: [0-1]. Where 0 = take after mother and 1 = take after father. Usually 0.5
+	 * @return The new generation. The babies of mating pool i are at [i · breedings, (i + 1) · breedings)
+	 */
+	public static FloatPopulation wholeArithmeticRecombination(FloatPopulation parents, int[] matingPools, int breedings, double α)
+	{
+		int numMatingPools = matingPools.length / 2;
+		FloatPopulation babies = new FloatPopulation(numMatingPools * breedings);
+
+		for (int i = 0; i < numMatingPools; i++)
+		{
+			int father = matingPools[2 * i] * SolutionVectors.DIMENSIONS;
+			int mother = matingPools[2 * i + 1] * SolutionVectors.DIMENSIONS;
+			float σ = (float) (α * parents.σ[matingPools[2 * i]] + (1 - α) * parents.σ[matingPools[2 * i + 1]]);
+
+			for (int b = 0; b < breedings; b++)
+			{
+				int baby = i * breedings + b;
+				int offset = baby * SolutionVectors.DIMENSIONS;
+
+				for (int j = 0; j < SolutionVectors.DIMENSIONS; j++)
+				{
+					// z = α·x + (1 − α)·y
+					babies.x[offset + j] = (float) (α * parents.x[father + j] + (1 - α) * parents.x[mother + j]);
+					babies.σs[offset + j] = (float) (α * parents.σs[father + j] + (1 - α) * parents.σs[mother + j]);
+				}
+
+				babies.σ[baby] = σ;
+			}
+		}
+		return babies;
+	}
+
+	/**
+	 * Self adaptive mutation with n step sizes
+	 *
+	 * @param random
+	 *            The random object used for all randomness within this function
+	 * @param population
+	 *            The population containing the individual
+	 * @param i
+	 *            Index of the individual that is to be mutated
+	 * @param τ1
+	 *            Learning rate: τ' ∝ 1/√(2n). Where n = problem_size/number_of_variables
+	 * @param τ2
+	 *            Learning rate: τ ∝ 1/√(2√n). Where n = problem_size/number_of_variables
+	 * @param ε0
+	 *            Lower bound of σ. The upper bound is BoundaryHandler.MAX_σ
+	 * @param boundaryHandler
+	 *            Keeps x inside the domain
+	 */
+	public static void uncorrelatedMutationWithNStepSizes(Random random, FloatPopulation population, int i, double τ1, double τ2, double ε0,
+			BoundaryHandler boundaryHandler)
+	{
+		double N = random.nextGaussian();
+		int offset = i * SolutionVectors.DIMENSIONS;
+
+		for (int j = offset; j < offset + SolutionVectors.DIMENSIONS; j++)
+		{
+			// σ' = σ · e^(τ' · N(0,1) + τ · Ni(0,1))
+			double σ = population.σs[j] * Math.exp(τ1 * N + τ2 * random.nextGaussian());
+
+			// σ < ε0 ⇒ σ = ε0, σ > MAX_σ ⇒ σ = MAX_σ
+			if (σ < ε0)
+				σ = ε0;
+			else if (σ > BoundaryHandler.MAX_σ)
+				σ = BoundaryHandler.MAX_σ;
+
+			population.σs[j] = (float) σ;
+
+			// xi = xi + σi · Ni(0, 1)
+			population.x[j] = (float) boundaryHandler.mutate(random, population.x[j], σ);
+		}
+	}
+
+	/**
+	 * Self adaptive mutation with one step size
+	 *
+	 * @param random
+	 *            The random object used for all randomness within this function
+	 * @param population
+	 *            The population containing the individual
+	 * @param i
+	 *            Index of the individual that is to be mutated
+	 * @param τ
+	 *            Learning rate: τ ∝ 1/√n. Where n = problem_size/number_of_variables
+	 * @param ε0
+	 *            Lower bound of σ. The upper bound is BoundaryHandler.MAX_σ
+	 * @param boundaryHandler
+	 *            Keeps x inside the domain
+	 */
+	public static void uncorrelatedMutationWithOneStepSize(Random random, FloatPopulation population, int i, double τ, double ε0,
+			BoundaryHandler boundaryHandler)
+	{
+		// σ' = σ · e^(τ · N(0,1))
+		double σ = population.σ[i] * Math.exp(τ * random.nextGaussian());
+
+		// σ < ε0 ⇒ σ = ε0, σ > MAX_σ ⇒ σ = MAX_σ
+		if (σ < ε0)
+			σ = ε0;
+		else if (σ > BoundaryHandler.MAX_σ)
+			σ = BoundaryHandler.MAX_σ;
+
+		population.σ[i] = (float) σ;
+
+		int offset = i * SolutionVectors.DIMENSIONS;
+		for (int j = offset; j < offset + SolutionVectors.DIMENSIONS; j++)
+		{
+			// x = x + σ · N(0, 1)
+			population.x[j] = (float) boundaryHandler.mutate(random, population.x[j], σ);
+		}
+	}
+
+	/**
+	 * (μ, λ) Selection, Fitness based replacement. A NaN fitness counts as the worst possible fitness
+	 *
+	 * @param newGeneration
+	 *            The new generation / all children / offspring. Size λ
+	 * @param μ
+	 *            Population size
+	 * @return The μ fittest children
+	 */
+	public static FloatPopulation μλSelection(FloatPopulation newGeneration, int μ)
+	{
+		if (newGeneration.size < μ)
+			throw new RuntimeException("New generation is smaller than Mu!");
+
+		double threshold = selectionThreshold(newGeneration.fitness, μ);
+
+		// everyone above the threshold survives, ties at the threshold fill up the remaining places
+		FloatPopulation population = new FloatPopulation(μ);
+		int survivors = 0;
+		for (int i = 0; i < newGeneration.size; i++)
+		{
+			if (rankingFitness(newGeneration.fitness[i]) > threshold)
+				population.copy(survivors++, newGeneration, i);
+		}
+		for (int i = 0; i < newGeneration.size && survivors < μ; i++)
+		{
+			if (rankingFitness(newGeneration.fitness[i]) == threshold)
+				population.copy(survivors++, newGeneration, i);
+		}
+
+		// our new population =)
+		return population;
+	}
+
+	/**
+	 * @param fitness
+	 *            Fitness per individual
+	 * @param μ
+	 *            Number of survivors
+	 * @return The μ-th best ranking fitness (see rankingFitness). Sorting a primitive copy avoids boxing millions of indices
+	 */
+	public static double selectionThreshold(double[] fitness, int μ)
+	{
+		double[] sorted = new double[fitness.length];
+		for (int i = 0; i < fitness.length; i++)
+		{
+			sorted[i] = rankingFitness(fitness[i]);
+		}
+		Arrays.sort(sorted);
+		return sorted[fitness.length - μ];
+	}
+
+	/** @return The fitness used for ranking. NaN becomes -∞: Arrays.sort would rank it above everything else */
+	public static double rankingFitness(double fitness)
+	{
+		return Double.isNaN(fitness) ? Double.NEGATIVE_INFINITY : fitness;
+	}
+}
@@ -0,0 +1,83 @@
+package model;
+
+/**
+ * A whole population in single precision. Alternative to a List of Individuals for very large populations.
+ *
+ * All individuals are stored next to each other in flat float arrays (individual i, value j at [i · DIMENSIONS + j]).
+ * That's half the memory of double[] and no per-Individual object overhead. Values are widened to double only when
+ * they are evaluated: see getGenotype().
+ *
+ * Operators are in 'FloatEAUtils.java'. Library only: the solvers selected by 'Bootstrap.java' still use Individuals. See
+ * 'experiment/GenotypeBenchmark.java' for a comparison of both
+ */
+public class FloatPopulation
+{
+	public final int		size;		// Number of individuals
+	public final float[]	x;			// values/variables/genotypes. size × DIMENSIONS
+	public final float[]	σ;			// Mutation step size per individual. Needed for self adaptive mutation with ONE step size
+	public final float[]	σs;			// Mutation step sizes. size × DIMENSIONS. Needed for self adaptive mutation with N step sizes
+	public final double[]	fitness;	// Score per individual. Higher is better. Maximum is 10
+
+	/** Create a population with initially all values at 0 */
+	public FloatPopulation(int size)
+	{
+		this.size = size;
+		x = new float[size * SolutionVectors.DIMENSIONS];
+		σ = new float[size];
+		σs = new float[size * SolutionVectors.DIMENSIONS];
+		fitness = new double[size];
+	}
+
+	/**
+	 * Widen the genotype of one individual to double
+	 *
+	 * @param i
+	 *            Index of the individual
+	 * @param genotype
+	 *            Array of length DIMENSIONS that receives the values
+	 */
+	public void getGenotype(int i, double[] genotype)
+	{
+		int offset = i * SolutionVectors.DIMENSIONS;
+		for (int j = 0; j < SolutionVectors.DIMENSIONS; j++)
+		{
+			genotype[j] = x[offset + j];
+		}
+	}
+
+	/**
+	 * @param i
+	 *            Index of the individual
+	 * @return The genotype as a new double[], as expected by ContestEvaluation.evaluate
+	 */
+	public Object getGenotype(int i)
+	{
+		double[] genotype = new double[SolutionVectors.DIMENSIONS];
+		getGenotype(i, genotype);
+		return (Object) genotype;
+	}
+
+	/**
+	 * Copy one individual from another population
+	 *
+	 * @param i
+	 *            Index in this population
+	 * @param source
+	 *            The population to copy from
+	 * @param j
+	 *            Index in the source population
+	 */
+	public void copy(int i, FloatPopulation source, int j)
+	{
+		System.arraycopy(source.x, j * SolutionVectors.DIMENSIONS, x, i * SolutionVectors.DIMENSIONS, SolutionVectors.DIMENSIONS);
+		System.arraycopy(source.σs, j * SolutionVectors.DIMENSIONS, σs, i * SolutionVectors.DIMENSIONS, SolutionVectors.DIMENSIONS);
+		σ[i] = source.σ[j];
+		fitness[i] = source.fitness[j];
+	}
+
+	/** @return Approximate heap usage of this population in bytes */
+	public long getMemoryUsage()
+	{
+		return 4L * (x.length + σ.length + σs.length) + 8L * fitness.length;
+	}
+}
@@ -0,0 +1,228 @@
+package model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hooke-Jeeves pattern search. A local optimiser that refines one individual with few evaluations.
+ *
+ * Exploratory move:	try x ± step along every axis, keep every improvement
+ * Pattern move:		after a successful exploration, jump further in the same direction and explore there
+ * No improvement:		halve the step, until it is smaller than the minimum step
+ *
+ * Evaluated points are cached (the most recent CACHE_SIZE), so a point that is probed again costs no evaluation.
+ * Probes outside the domain are never evaluated.
+ */
+public class PatternSearch
+{
+	public static final int		CACHE_SIZE	= 1024;
+
+	private final double				minimumStep;
+	private final Map<Point, Double>	cache;			// Fitness of recently evaluated points, least recently used first
+	private long						evaluations;	// Number of evaluations used
+	private long						cacheHits;		// Number of probes answered by the cache
+
+	/**
+	 * @param minimumStep
+	 *            Stop when the step size drops below this
+	 */
+	public PatternSearch(double minimumStep)
+	{
+		this.minimumStep = minimumStep;
+		this.cache = new LinkedHashMap<Point, Double>(2 * CACHE_SIZE, 0.75f, true)
+		{
+			private static final long	serialVersionUID	= 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Point, Double> eldest)
+			{
+				return size() > CACHE_SIZE;
+			}
+		};
+	}
+
+	/**
+	 * Refine an evaluated individual in place: x and fitness are updated. σ is left alone: it belongs to the
+	 * self-adaptation of the EA, and the final step size of the search is far too small for mutation
+	 *
+	 * @param individual
+	 *            The individual to refine. Its fitness must be known
+	 * @param initialStep
+	 *            The first step size. Usually the mutation step size of the individual
+	 * @param evaluator
+	 *            Evaluates the probes
+	 * @return True when the individual improved
+	 */
+	public boolean refine(Individual individual, double initialStep, Evaluator evaluator)
+	{
+		double startFitness = individual.fitness;
+		double[] base = individual.x.clone();
+		double baseFitness = individual.fitness;
+		double step = initialStep;
+
+		cache.put(new Point(base), baseFitness);
+
+		try
+		{
+			while (step >= minimumStep)
+			{
+				// EXPLORATORY MOVE
+				double[] point = base.clone();
+				double pointFitness = explore(point, baseFitness, step, evaluator);
+
+				if (pointFitness <= baseFitness)
+				{
+					step /= 2;
+					continue;
+				}
+
+				// PATTERN MOVES: keep going in the same direction while it helps
+				double[] previous = base;
+				base = point;
+				baseFitness = pointFitness;
+
+				while (true)
+				{
+					double[] pattern = new double[base.length];
+					for (int i = 0; i < base.length; i++)
+					{
+						pattern[i] = clamp(2 * base[i] - previous[i]);
+					}
+
+					Double patternFitness = probe(pattern.clone(), evaluator);
+					if (patternFitness == null)
+						patternFitness = Double.NEGATIVE_INFINITY;
+
+					pointFitness = explore(pattern, patternFitness, step, evaluator);
+					if (pointFitness <= baseFitness)
+						break;
+
+					previous = base;
+					base = pattern;
+					baseFitness = pointFitness;
+				}
+			}
+		}
+		catch (BudgetExhaustedException e)
+		{
+			// keep the last accepted point
+		}
+
+		individual.x = base.clone();
+		individual.fitness = baseFitness;
+
+		return baseFitness > startFitness;
+	}
+
+	/**
+	 * Try x ± step along every axis and keep every improvement. Changes point in place
+	 *
+	 * @return The fitness of the resulting point
+	 */
+	private double explore(double[] point, double fitness, double step, Evaluator evaluator)
+	{
+		for (int i = 0; i < point.length; i++)
+		{
+			double original = point[i];
+
+			for (int direction = 1; direction >= -1; direction -= 2)
+			{
+				double value = original + direction * step;
+				if (value < SolutionVectors.LOWER_BOUND || value > SolutionVectors.UPPER_BOUND)
+					continue;
+
+				point[i] = value;
+				Double probeFitness = probe(point.clone(), evaluator);
+
+				if (probeFitness != null && probeFitness > fitness)
+				{
+					fitness = probeFitness;
+					break;
+				}
+				point[i] = original;
+			}
+		}
+		return fitness;
+	}
+
+	/**
+	 * @param x
+	 *            The point. Becomes a cache key: must not be changed afterwards
+	 * @return The fitness of x, from the cache when possible. Null when x is outside the domain
+	 * @throws BudgetExhaustedException
+	 *             When x had to be evaluated, but there are no evaluations left
+	 */
+	private Double probe(double[] x, Evaluator evaluator)
+	{
+		Point key = new Point(x);
+		Double fitness = cache.get(key);
+		if (fitness != null)
+		{
+			cacheHits++;
+			return fitness;
+		}
+
+		for (int i = 0; i < x.length; i++)
+		{
+			if (x[i] < SolutionVectors.LOWER_BOUND || x[i] > SolutionVectors.UPPER_BOUND)
+				return null;
+		}
+
+		fitness = evaluator.evaluate(x);
+		if (fitness == null)
+			throw new BudgetExhaustedException();
+
+		evaluations++;
+		cache.put(key, fitness);
+		return fitness;
+	}
+
+	private static double clamp(double value)
+	{
+		return Math.max(SolutionVectors.LOWER_BOUND, Math.min(SolutionVectors.UPPER_BOUND, value));
+	}
+
+	/** @return Number of evaluations used */
+	public long getEvaluations()
+	{
+		return evaluations;
+	}
+
+	/** @return Number of probes answered by the cache */
+	public long getCacheHits()
+	{
+		return cacheHits;
+	}
+
+	/** A genotype as cache key */
+	private static final class Point
+	{
+		private final double[]	x;
+		private final int		hash;
+
+		Point(double[] x)
+		{
+			this.x = x;
+			this.hash = Arrays.hashCode(x);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other)
+		{
+			return other instanceof Point && Arrays.equals(x, ((Point) other).x);
+		}
+	}
+
+	/** Thrown by probe(): stops the search as soon as the evaluation budget is used up */
+	private static final class BudgetExhaustedException extends RuntimeException
+	{
+		private static final long	serialVersionUID	= 1L;
+	}
+}
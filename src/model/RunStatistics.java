@@ -0,0 +1,17 @@
+package model;
+
+/** Counters of a finished run, for reports. Implemented by the submission */
+public interface RunStatistics
+{
+	/** @return Number of mutated values that left the domain and were repaired */
+	long getBoundaryRepairs();
+
+	/** @return Number of extra mutation steps drawn by boundary handling with RESAMPLING */
+	long getBoundaryResamples();
+
+	/** @return Number of evaluations used by the local search */
+	long getLocalSearchEvaluations();
+
+	/** @return Number of local search probes answered by its cache, without an evaluation */
+	long getLocalSearchCacheHits();
+}
@@ -0,0 +1,170 @@
+package model;
+
+/**
+ * Wall-clock budget for one run.
+ *
+ * Measures the cost of every generation (breeding, evaluation and local search) and uses it to pick the amount of
+ * offspring so that a generation takes about the target latency and the run ends before the deadline.
+ */
+public class TimeBudget
+{
+	private static final double	SAFETY_FACTOR	= 1.5;	// Overestimate the next generation by this factor, so we don't overrun the deadline
+
+	private final boolean		limited;				// False: no deadline. λ is never changed
+	private final long			deadline;				// System.nanoTime() at which the run must be finished
+	private final long			targetLatency;			// Desired duration of one generation (nanoseconds)
+
+	private long				phaseStart;				// System.nanoTime() at the start of the current phase
+	private long				breedingNanos;			// Selection + recombination + mutation time of the last generation
+	private long				evaluationNanos;		// Evaluation time of the last generation
+	private long				localSearchNanos;		// Local search time of the last generation. Not proportional to λ
+	private int					offspring;				// Amount of offspring in the last generation
+	private int					remainingEvaluations	= Integer.MAX_VALUE;	// Evaluations left after the last generation
+	private int					nextOffspring;			// Amount of offspring expected in the next generation
+	private int					generations;			// Number of measured generations
+
+	/** Create a budget without a deadline */
+	public TimeBudget()
+	{
+		this.limited = false;
+		this.deadline = Long.MAX_VALUE;
+		this.targetLatency = Long.MAX_VALUE;
+	}
+
+	/**
+	 * @param budgetMillis
+	 *            Available wall-clock time for the whole run, starting now
+	 * @param generationLatencyMillis
+	 *            Desired duration of one generation. When 0 or less, 1/100 of the budget is used
+	 */
+	public TimeBudget(long budgetMillis, long generationLatencyMillis)
+	{
+		long budget = budgetMillis * 1000000L;
+
+		this.limited = true;
+		this.deadline = System.nanoTime() + budget;
+		this.targetLatency = generationLatencyMillis > 0 ? generationLatencyMillis * 1000000L : budget / 100;
+	}
+
+	/** Call right before parent selection */
+	public void startBreeding()
+	{
+		phaseStart = System.nanoTime();
+	}
+
+	/** Call right after mutation / right before evaluation */
+	public void startEvaluation()
+	{
+		long now = System.nanoTime();
+		breedingNanos = now - phaseStart;
+		phaseStart = now;
+	}
+
+	/**
+	 * Call right after evaluation
+	 *
+	 * @param offspring
+	 *            Amount of offspring created in this generation
+	 * @param remainingEvaluations
+	 *            Evaluations left in the evaluation limit
+	 */
+	public void endGeneration(int offspring, int remainingEvaluations)
+	{
+		evaluationNanos = System.nanoTime() - phaseStart;
+		this.offspring = offspring;
+		this.nextOffspring = offspring;
+		this.remainingEvaluations = remainingEvaluations;
+		generations++;
+	}
+
+	/** Call right before the local search, after survivor selection */
+	public void startLocalSearch()
+	{
+		phaseStart = System.nanoTime();
+	}
+
+	/** Call right after the local search */
+	public void endLocalSearch()
+	{
+		localSearchNanos = System.nanoTime() - phaseStart;
+	}
+
+	/**
+	 * Choose the amount of offspring for the next generation. λ only shrinks below its configured value when a
+	 * generation would take longer than the target latency, or would not finish before the deadline
+	 *
+	 * @param λ
+	 *            Current amount of offspring per generation
+	 * @param maximumλ
+	 *            The configured amount of offspring per generation. Never exceeded
+	 * @param μ
+	 *            Population size. (μ, λ) selection needs λ ≥ μ
+	 * @param breedings
+	 *            Amount of offspring per mating pool. λ has to be a multiple of this
+	 * @return The new amount of offspring per generation
+	 */
+	public int adaptλ(int λ, int maximumλ, int μ, int breedings)
+	{
+		if (!limited || offspring == 0)
+			return λ;
+
+		// cost of one child: breeding + evaluation
+		double childNanos = (double) (breedingNanos + evaluationNanos) / offspring;
+
+		// aim for the target latency, but never beyond the deadline. The local search takes its share first
+		double latency = Math.min(targetLatency, (deadline - System.nanoTime()) / SAFETY_FACTOR) - localSearchNanos;
+		double wanted = Math.max(0, latency) / childNanos;
+
+		// damp: at most halve or double per generation, so a single slow generation doesn't throw λ off
+		wanted = Math.max(λ / 2.0, Math.min(2.0 * λ, wanted));
+
+		// never more than configured, nor more than the evaluations that are left
+		wanted = Math.min(wanted, Math.min(maximumλ, remainingEvaluations));
+
+		// λ ≥ μ and λ is a multiple of breedings
+		int minimum = ((μ + breedings - 1) / breedings) * breedings;
+		int adapted = Math.max(minimum, ((int) wanted / breedings) * breedings);
+
+		nextOffspring = adapted;
+		return adapted;
+	}
+
+	/** @return True when the next generation is not expected to finish before the deadline */
+	public boolean isExpired()
+	{
+		if (!limited)
+			return false;
+
+		long now = System.nanoTime();
+		if (offspring == 0)
+			return now >= deadline;
+
+		double childNanos = (double) (breedingNanos + evaluationNanos) / offspring;
+		return now + SAFETY_FACTOR * (childNanos * nextOffspring + localSearchNanos) >= deadline;
+	}
+
+	public boolean isLimited()
+	{
+		return limited;
+	}
+
+	public long getBreedingNanos()
+	{
+		return breedingNanos;
+	}
+
+	public long getEvaluationNanos()
+	{
+		return evaluationNanos;
+	}
+
+	public long getLocalSearchNanos()
+	{
+		return localSearchNanos;
+	}
+
+	public int getGenerations()
+	{
+		return generations;
+	}
+}
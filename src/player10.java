@@ -7,18 +7,43 @@ import java.util.Random;
 import org.vu.contest.ContestEvaluation;
 import org.vu.contest.ContestSubmission;
 import implementation.Bootstrap;
+import model.BatchEvaluation;
+import model.Evaluator;
 import model.EvolutionaryAlgorithm;
 import model.Individual;
+import model.RunStatistics;
+import model.SolutionVectors;
+import model.TimeBudget;
 
-public class player10 implements ContestSubmission
+public class player10 implements ContestSubmission, RunStatistics
 {
 	private Random				random;
 	private ContestEvaluation	evaluation;
 	private int					evaluationLimit;
+	private int					evaluationCount;
 	private boolean				isMultimodal, isRegular, isSeparable;
+	// Optional wall-clock limit, e.g. -DtimeBudget=2000 -DgenerationLatency=20 (milliseconds). See setTimeBudget()
+	private long				timeBudgetMillis			= Long.getLong("timeBudget", 0);	// 0 = no time limit
+	private long				generationLatencyMillis		= Long.getLong("generationLatency", 0);	// 0 = 1/100 of the time budget
 
 	private List<Individual>		population;
+	private Individual				best;					// best-so-far individual
 	private EvolutionaryAlgorithm	evolutionaryAlgorithm;
+	private TimeBudget				timeBudget;
+
+	/** Lets the local search evaluate within the same evaluation and time budget */
+	private Evaluator				evaluator	= new Evaluator()
+	{
+		public Double evaluate(double[] x)
+		{
+			if (evaluationCount >= evaluationLimit || timeBudget.isExpired())
+				return null;
+
+			Double fitness = (Double) evaluation.evaluate(x);
+			evaluationCount++;
+			return fitness;
+		}
+	};
 
 	public static void main(String[] args)
 	{}
@@ -42,24 +67,73 @@ public class player10 implements ContestSubmission
 		isSeparable = Boolean.parseBoolean(props.getProperty("Separable"));
 	}
 
+	/**
+	 * Let run() finish before a deadline. λ is lowered when a generation would exceed the generation latency.
+	 * Overrides the system properties
+	 * 
+	 * @param timeBudgetMillis
+	 *            Available wall-clock time for one run. 0 = no time limit
+	 * @param generationLatencyMillis
+	 *            Desired duration of one generation. 0 = 1/100 of the time budget
+	 */
+	public void setTimeBudget(long timeBudgetMillis, long generationLatencyMillis)
+	{
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.generationLatencyMillis = generationLatencyMillis;
+	}
+
+	/** @return The best individual found during the last run */
+	public Individual getBest()
+	{
+		return best;
+	}
+
+	public long getBoundaryRepairs()
+	{
+		return evolutionaryAlgorithm != null ? evolutionaryAlgorithm.getBoundaryHandler().getRepairs() : 0;
+	}
+
+	public long getBoundaryResamples()
+	{
+		return evolutionaryAlgorithm != null ? evolutionaryAlgorithm.getBoundaryHandler().getResamples() : 0;
+	}
+
+	public long getLocalSearchEvaluations()
+	{
+		return evolutionaryAlgorithm != null ? evolutionaryAlgorithm.getLocalSearchEvaluations() : 0;
+	}
+
+	public long getLocalSearchCacheHits()
+	{
+		return evolutionaryAlgorithm != null ? evolutionaryAlgorithm.getLocalSearchCacheHits() : 0;
+	}
+
 	/** Scheme for all Evolutionary Algorithms */
 	public synchronized void run()
 	{
 		// INITIALISATION
+		timeBudget = timeBudgetMillis > 0 ? new TimeBudget(timeBudgetMillis, generationLatencyMillis) : new TimeBudget();
 		evolutionaryAlgorithm = Bootstrap.getEvolutionaryAlgorithm(random, isMultimodal, isRegular, isSeparable, evaluationLimit);
 		population = evolutionaryAlgorithm.initialisation(random);
+		best = null;
 		
 		// EVALUATION
-		int evaluationCount = 0;
+		evaluationCount = 0;
 		for (Individual child : population)
 		{
+			if (timeBudget.isExpired())
+				break;
+
 			Double fitness = (Double) evaluation.evaluate(child.getGenotype());
 			evaluationCount++;
 			child.fitness = fitness;
+			updateBest(child);
 		}
 
-		while (evaluationCount < evaluationLimit) // TERMINATION CONDITION
+		while (evaluationCount < evaluationLimit && !timeBudget.isExpired()) // TERMINATION CONDITION
 		{
+			timeBudget.startBreeding();
+
 			// PARENT SELECTION
 			List<Individual[]> coupleList = evolutionaryAlgorithm.parentSelection(random, population);
 
@@ -77,23 +151,77 @@ public class player10 implements ContestSubmission
 			}
 
 			// EVALUATION
-			for (Individual child : children)
+			timeBudget.startEvaluation();
+			if (evaluation instanceof BatchEvaluation)
 			{
-				Double fitness = (Double) evaluation.evaluate(child.getGenotype());
-				evaluationCount++;
-
-				if (fitness != null)
-				{
-					child.fitness = fitness;
-				}
-				else
+				// children beyond the evaluation limit stay unevaluated, like in the loop below
+				evaluationCount += evaluateBatch((BatchEvaluation) evaluation, children);
+			}
+			else
+			{
+				for (Individual child : children)
 				{
-					break;
+					Double fitness = (Double) evaluation.evaluate(child.getGenotype());
+					evaluationCount++;
+
+					if (fitness != null)
+					{
+						child.fitness = fitness;
+						updateBest(child);
+					}
+					else
+					{
+						break;
+					}
 				}
 			}
+			timeBudget.endGeneration(children.size(), evaluationLimit - evaluationCount);
 			
 			// SURVIVOR SELECTION
 			population = evolutionaryAlgorithm.survivorSelection(random, population, children);
+
+			// LOCAL SEARCH
+			timeBudget.startLocalSearch();
+			evolutionaryAlgorithm.localSearch(population, evaluationCount, evaluationLimit, evaluator);
+			for (Individual individual : population)
+			{
+				updateBest(individual);
+			}
+			timeBudget.endLocalSearch();
+
+			// fit the next generation in the time budget
+			evolutionaryAlgorithm.adaptOffspring(timeBudget);
 		}
 	}
+
+	/**
+	 * Evaluate all individuals in one call
+	 * 
+	 * @return The number of evaluated individuals. Less than individuals.size() when the evaluation limit is reached
+	 */
+	private int evaluateBatch(BatchEvaluation batchEvaluation, List<Individual> individuals)
+	{
+		double[] genotypes = new double[individuals.size() * SolutionVectors.DIMENSIONS];
+		double[] fitness = new double[individuals.size()];
+
+		for (int i = 0; i < individuals.size(); i++)
+		{
+			System.arraycopy(individuals.get(i).x, 0, genotypes, i * SolutionVectors.DIMENSIONS, SolutionVectors.DIMENSIONS);
+		}
+
+		int evaluated = batchEvaluation.evaluate(genotypes, individuals.size(), fitness);
+		for (int i = 0; i < evaluated; i++)
+		{
+			Individual individual = individuals.get(i);
+			individual.fitness = fitness[i];
+			updateBest(individual);
+		}
+		return evaluated;
+	}
+
+	private void updateBest(Individual individual)
+	{
+		if (best == null || individual.fitness > best.fitness)
+			best = individual;
+	}
 }